@@ -0,0 +1,85 @@
+package com.db.awmd.challenge.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Progress of a batch run: the last processed account id of every partition, and the legs
+ * that could not be transferred so they can be reported and retried.
+ */
+@Getter
+public class BatchCheckpoint {
+
+  private final String runId;
+
+  private final int partitions;
+
+  @Getter(AccessLevel.NONE)
+  private final AtomicReferenceArray<String> lastProcessed;
+
+  @Getter(AccessLevel.NONE)
+  private final Queue<FailedLegs> failedLegs = new ConcurrentLinkedQueue<>();
+
+  @Getter(AccessLevel.NONE)
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  @Setter
+  private volatile boolean completed;
+
+  @Setter
+  private volatile boolean cancelled;
+
+  public BatchCheckpoint(String runId, int partitions) {
+    this.runId = runId;
+    this.partitions = partitions;
+    this.lastProcessed = new AtomicReferenceArray<>(partitions);
+  }
+
+  /**
+   * Claim the run, only one caller at a time may process the partitions
+   * @return false when the run is already in progress
+   */
+  public boolean startRun() {
+    return running.compareAndSet(false, true);
+  }
+
+  public void finishRun() {
+    running.set(false);
+  }
+
+  public boolean isRunning() {
+    return running.get();
+  }
+
+  public String getLastProcessed(int partition) {
+    return lastProcessed.get(partition);
+  }
+
+  public void setLastProcessed(int partition, String accountId) {
+    lastProcessed.set(partition, accountId);
+  }
+
+  public List<FailedLegs> getFailedLegs() {
+    return new ArrayList<>(failedLegs);
+  }
+
+  public void addFailedLegs(FailedLegs legs) {
+    failedLegs.add(legs);
+  }
+
+  /**
+   * Replace the failed legs, e.g. with the ones still failing after a retry
+   * @param legs
+   */
+  public void setFailedLegs(List<FailedLegs> legs) {
+    failedLegs.clear();
+    failedLegs.addAll(legs);
+  }
+}
@@ -0,0 +1,17 @@
+package com.db.awmd.challenge.domain;
+
+import java.util.List;
+import lombok.Data;
+
+/**
+ * Legs a batch rule returned for an account that could not be transferred.
+ */
+@Data
+public class FailedLegs {
+
+  private final String accountId;
+
+  private final List<TransferLeg> legs;
+
+  private final String reason;
+}
@@ -0,0 +1,19 @@
+package com.db.awmd.challenge.domain;
+
+import lombok.Data;
+
+@Data
+public class HotAccount {
+
+  private final String accountId;
+
+  /**
+   * Transfers per second or lock wait milliseconds, depending on the ranking.
+   */
+  private final double value;
+
+  /**
+   * Upper bound of how much value may be overestimated by the sketch.
+   */
+  private final double maxError;
+}
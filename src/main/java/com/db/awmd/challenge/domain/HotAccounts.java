@@ -0,0 +1,16 @@
+package com.db.awmd.challenge.domain;
+
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class HotAccounts {
+
+  private final long windowStart;
+
+  private final long windowMillis;
+
+  private final List<HotAccount> byTransferRate;
+
+  private final List<HotAccount> byLockWait;
+}
@@ -0,0 +1,23 @@
+package com.db.awmd.challenge.domain;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import lombok.Data;
+import org.hibernate.validator.constraints.NotEmpty;
+
+@Data
+public class MultiLegTransfer {
+
+  @NotNull
+  @NotEmpty
+  @Valid
+  private final List<TransferLeg> legs;
+
+  @JsonCreator
+  public MultiLegTransfer(@JsonProperty("legs") List<TransferLeg> legs) {
+    this.legs = legs;
+  }
+}
@@ -0,0 +1,32 @@
+package com.db.awmd.challenge.domain;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.math.BigDecimal;
+import javax.validation.constraints.NotNull;
+import lombok.Data;
+import org.hibernate.validator.constraints.NotEmpty;
+
+@Data
+public class TransferLeg {
+
+  @NotNull
+  @NotEmpty
+  private final String fromAccountId;
+
+  @NotNull
+  @NotEmpty
+  private final String toAccountId;
+
+  @NotNull
+  private final BigDecimal amount;
+
+  @JsonCreator
+  public TransferLeg(@JsonProperty("fromAccountId") String fromAccountId,
+    @JsonProperty("toAccountId") String toAccountId,
+    @JsonProperty("amount") BigDecimal amount) {
+    this.fromAccountId = fromAccountId;
+    this.toAccountId = toAccountId;
+    this.amount = amount;
+  }
+}
@@ -0,0 +1,8 @@
+package com.db.awmd.challenge.exception;
+
+public class BatchRunException extends RuntimeException {
+
+  public BatchRunException(String message) {
+    super(message);
+  }
+}
@@ -2,6 +2,8 @@ package com.db.awmd.challenge.repository;
 
 import com.db.awmd.challenge.domain.Account;
 import com.db.awmd.challenge.exception.DuplicateAccountIdException;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import org.springframework.stereotype.Repository;
@@ -25,6 +27,11 @@ public class AccountsRepositoryInMemory implements AccountsRepository {
     return accounts.get(accountId);
   }
 
+  @Override
+  public Collection<Account> getAccounts() {
+    return Collections.unmodifiableCollection(accounts.values());
+  }
+
   @Override
   public void clearAccounts() {
     accounts.clear();
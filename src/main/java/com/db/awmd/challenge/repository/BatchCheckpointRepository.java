@@ -0,0 +1,12 @@
+package com.db.awmd.challenge.repository;
+
+import com.db.awmd.challenge.domain.BatchCheckpoint;
+
+public interface BatchCheckpointRepository {
+
+  BatchCheckpoint getOrCreateCheckpoint(String runId, int partitions);
+
+  BatchCheckpoint getCheckpoint(String runId);
+
+  void clearCheckpoints();
+}
@@ -0,0 +1,28 @@
+package com.db.awmd.challenge.repository;
+
+import com.db.awmd.challenge.domain.BatchCheckpoint;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class BatchCheckpointRepositoryInMemory implements BatchCheckpointRepository {
+
+  private final Map<String, BatchCheckpoint> checkpoints = new ConcurrentHashMap<>();
+
+  @Override
+  public BatchCheckpoint getOrCreateCheckpoint(String runId, int partitions) {
+    return checkpoints.computeIfAbsent(runId, id -> new BatchCheckpoint(id, partitions));
+  }
+
+  @Override
+  public BatchCheckpoint getCheckpoint(String runId) {
+    return checkpoints.get(runId);
+  }
+
+  @Override
+  public void clearCheckpoints() {
+    checkpoints.clear();
+  }
+
+}
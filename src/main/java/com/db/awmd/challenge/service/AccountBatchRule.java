@@ -0,0 +1,23 @@
+package com.db.awmd.challenge.service;
+
+import com.db.awmd.challenge.domain.Account;
+import com.db.awmd.challenge.domain.TransferLeg;
+import java.util.List;
+
+/**
+ * Per account step of a batch run, e.g. interest, fees or threshold sweeps.
+ */
+public interface AccountBatchRule {
+
+  /**
+   * Called with a draft copy of the account while the locks of the account and of every
+   * account its legs touch are held. The rule may be called more than once for an account,
+   * only the balance change and legs of the last call are applied, so it must not have
+   * other side effects. Money moving to other accounts is returned as legs, which are
+   * transferred all or none; legs that fail are kept on the checkpoint to be retried while
+   * the balance change stays applied.
+   * @param account draft of the account, only its balance may be changed
+   * @return legs to transfer, or an empty list
+   */
+  List<TransferLeg> apply(Account account);
+}
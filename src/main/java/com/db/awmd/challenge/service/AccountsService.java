@@ -1,6 +1,7 @@
 package com.db.awmd.challenge.service;
 
 import com.db.awmd.challenge.domain.Account;
+import com.db.awmd.challenge.domain.TransferLeg;
 import com.db.awmd.challenge.exception.AccountDoesNotExistException;
 import com.db.awmd.challenge.exception.AmountTransferShouldBeGreaterThanZero;
 import com.db.awmd.challenge.exception.InsufficientBalanceException;
@@ -9,6 +10,13 @@ import com.db.awmd.challenge.repository.AccountsRepository;
 import lombok.Getter;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -21,12 +29,16 @@ public class AccountsService {
   
   
   private final NotificationService notificationService;
+  
+  private final HotAccountTracker hotAccountTracker;
 
   
   @Autowired
-  public AccountsService(AccountsRepository accountsRepository,NotificationService notificationService) {
+  public AccountsService(AccountsRepository accountsRepository,NotificationService notificationService,
+    HotAccountTracker hotAccountTracker) {
     this.accountsRepository = accountsRepository;
     this.notificationService=notificationService;
+    this.hotAccountTracker=hotAccountTracker;
   }
 
   public void createAccount(Account account) {
@@ -65,22 +77,29 @@ public class AccountsService {
 		validateAccounts(fromAccountId, toAccountId,amount);
 		
 	  
+	  Account fromAccount =getAccount(fromAccountId);
+	  Account toAccount =getAccount(toAccountId);
+	  
 	  //higher account will be set as level1
-	  String level1,level2;
+	  Account level1,level2;
 	  if(fromAccountId.compareTo(toAccountId)>0) {
-		  level1=fromAccountId;
-		  level2=toAccountId;
+		  level1=fromAccount;
+		  level2=toAccount;
 	  }else {
-		  level1=toAccountId;
-		  level2=fromAccountId;
+		  level1=toAccount;
+		  level2=fromAccount;
 	  }
 	  
-	  // always lock higher account first to avoid deadlock 
+	  // always lock higher account first to avoid deadlock.
+	  // Lock the stored account, not the id string passed by the caller,
+	  // so every transfer touching the same account uses the same lock.
 	   
-	  synchronized (level1) {		  
-		  synchronized (level2) {			
-			  Account fromAccount =getAccount(fromAccountId);
-				Account toAccount =getAccount(toAccountId);		
+	  long level1Wait=0,level2Wait=0;
+	  try {
+	  level1Wait=lock(level1);
+	  try {
+		  level2Wait=lock(level2);
+		  try {
 				BigDecimal fromAccountBalance=fromAccount.getBalance();
 				if(fromAccountBalance.compareTo(amount)>=0) {			
 					fromAccount.setBalance(fromAccount.getBalance().subtract(amount));
@@ -88,13 +107,119 @@ public class AccountsService {
 				}else {
 					throw new InsufficientBalanceException("Insufficient Balance in account "+fromAccount.getAccountId());
 				}				  
-		 }
-		  
+		  } finally {
+			  level2.getLock().unlock();
+		  }
+	  } finally {
+		  level1.getLock().unlock();
+	  }
+	  } finally {
+		  // recorded after the locks are released so tracking never extends lock hold time
+		  hotAccountTracker.recordTransfer(fromAccountId);
+		  hotAccountTracker.recordTransfer(toAccountId);
+		  hotAccountTracker.recordLockWait(level1.getAccountId(), level1Wait);
+		  hotAccountTracker.recordLockWait(level2.getAccountId(), level2Wait);
 	  }
 	  
 	  
   }
   
+  /**
+   * Transfer money for all legs atomically and send one notification per recipient
+   * @param legs
+   */
+  public void initiateMultiLegTransfer(List<TransferLeg> legs) {
+	  Map<String, BigDecimal> credits = transferMultiLeg(legs);
+	  credits.forEach((toAccountId, amount) -> notificationService.notifyAboutTransfer(
+		  accountsRepository.getAccount(toAccountId),
+		  "Amount "+amount+" has been transffered to "+toAccountId+" in multi leg transfer"));
+  }
+
+  /**
+   * Apply all legs atomically, either every leg is applied or none of them.
+   * All legs are validated up front and every involved account is locked exactly once,
+   * higher account id first, which is the same order used by transferAmount.
+   * @param legs
+   * @return total amount credited per recipient account id
+   */
+  public Map<String, BigDecimal> transferMultiLeg(List<TransferLeg> legs) {
+
+	  // net balance change per account, ordered higher account id first
+	  Map<String, BigDecimal> netChanges = new TreeMap<>(Comparator.reverseOrder());
+	  Map<String, BigDecimal> credits = new LinkedHashMap<>();
+	  for (TransferLeg leg : legs) {
+		  validateAccounts(leg.getFromAccountId(), leg.getToAccountId(), leg.getAmount());
+		  netChanges.merge(leg.getFromAccountId(), leg.getAmount().negate(), BigDecimal::add);
+		  netChanges.merge(leg.getToAccountId(), leg.getAmount(), BigDecimal::add);
+		  credits.merge(leg.getToAccountId(), leg.getAmount(), BigDecimal::add);
+	  }
+
+	  List<Account> accounts = new ArrayList<>(netChanges.size());
+	  for (String accountId : netChanges.keySet()) {
+		  accounts.add(getAccount(accountId));
+	  }
+
+	  long[] lockWaits = lockAll(accounts);
+	  try {
+		  // check every debit before touching any balance so a failure leaves nothing applied
+		  for (Account account : accounts) {
+			  if (account.getBalance().add(netChanges.get(account.getAccountId())).signum() < 0) {
+				  throw new InsufficientBalanceException("Insufficient Balance in account "+account.getAccountId());
+			  }
+		  }
+		  for (Account account : accounts) {
+			  account.setBalance(account.getBalance().add(netChanges.get(account.getAccountId())));
+		  }
+	  } finally {
+		  unlockAll(accounts);
+		  for (int i = 0; i < accounts.size(); i++) {
+			  hotAccountTracker.recordTransfer(accounts.get(i).getAccountId());
+			  hotAccountTracker.recordLockWait(accounts.get(i).getAccountId(), lockWaits[i]);
+		  }
+	  }
+
+	  return credits;
+  }
+
+  /**
+   * Lock every account in list order. Locks are taken in a loop, not by nesting,
+   * so the number of accounts is not bounded by the stack
+   * @param accounts accounts sorted higher account id first, the order every transfer uses
+   * @return nanoseconds spent waiting for each lock
+   */
+  long[] lockAll(List<Account> accounts) {
+	  long[] lockWaits = new long[accounts.size()];
+	  for (int i = 0; i < accounts.size(); i++) {
+		  lockWaits[i] = lock(accounts.get(i));
+	  }
+	  return lockWaits;
+  }
+
+  /**
+   * Release the locks taken by lockAll
+   * @param accounts
+   */
+  void unlockAll(List<Account> accounts) {
+	  for (int i = accounts.size() - 1; i >= 0; i--) {
+		  accounts.get(i).getLock().unlock();
+	  }
+  }
+
+  /**
+   * Lock the account, timing the wait only when the lock is contended
+   * @param account
+   * @return nanoseconds spent waiting for the lock, 0 when it was free
+   */
+  private long lock(Account account) {
+	  ReentrantLock lock = account.getLock();
+	  if (lock.tryLock()) {
+		  return 0;
+	  }
+	  long waitStart = System.nanoTime();
+	  lock.lock();
+	  return System.nanoTime() - waitStart;
+  }
+  
   /**
    * 
    * @param fromAccount
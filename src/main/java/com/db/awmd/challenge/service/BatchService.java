@@ -0,0 +1,269 @@
+package com.db.awmd.challenge.service;
+
+import com.db.awmd.challenge.domain.Account;
+import com.db.awmd.challenge.domain.BatchCheckpoint;
+import com.db.awmd.challenge.domain.FailedLegs;
+import com.db.awmd.challenge.domain.TransferLeg;
+import com.db.awmd.challenge.exception.BatchRunException;
+import com.db.awmd.challenge.repository.AccountsRepository;
+import com.db.awmd.challenge.repository.BatchCheckpointRepository;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Applies a rule to every account in parallel, e.g. the end of day interest, fees and sweeps.
+ * Accounts are split into partitions by account id hash and each partition is processed in
+ * account id order, so the checkpoint of a run is the last processed id per partition and an
+ * interrupted run resumes where it stopped. Each account is processed under the locks of the
+ * account and of every account its legs touch, taken in the order transfers use, so the rule
+ * sees a balance no live transfer can change before its legs are applied.
+ */
+@Service
+@Slf4j
+public class BatchService {
+
+  private final AccountsRepository accountsRepository;
+
+  @Getter
+  private final BatchCheckpointRepository batchCheckpointRepository;
+
+  private final AccountsService accountsService;
+
+  private final ForkJoinPool pool;
+
+  private final int partitions;
+
+  @Autowired
+  public BatchService(AccountsRepository accountsRepository,
+    BatchCheckpointRepository batchCheckpointRepository, AccountsService accountsService,
+    @Value("${batch.partitions:1024}") int partitions,
+    @Value("${batch.parallelism:0}") int parallelism) {
+    this.accountsRepository = accountsRepository;
+    this.batchCheckpointRepository = batchCheckpointRepository;
+    this.accountsService = accountsService;
+    this.partitions = partitions;
+    this.pool = new ForkJoinPool(
+      parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Run the rule over all accounts, or resume the run if it was interrupted before
+   * @param runId identifies the run, e.g. the business date
+   * @param rule
+   * @return number of accounts processed by this call
+   * @throws BatchRunException when the run is already in progress
+   */
+  public long run(String runId, AccountBatchRule rule) {
+    BatchCheckpoint checkpoint =
+      batchCheckpointRepository.getOrCreateCheckpoint(runId, partitions);
+    if (!checkpoint.startRun()) {
+      throw new BatchRunException("Batch run " + runId + " is already running");
+    }
+    try {
+      if (checkpoint.isCompleted()) {
+        log.info("Batch run {} already completed", runId);
+        return 0;
+      }
+      checkpoint.setCancelled(false);
+
+      LongAdder processed = new LongAdder();
+      // parallel streams started from a task of the pool run in that pool
+      Map<Integer, List<Account>> byPartition = pool.submit(() ->
+        accountsRepository.getAccounts().parallelStream()
+          .collect(Collectors.groupingByConcurrent(
+            account -> partitionOf(account.getAccountId(), checkpoint.getPartitions())))).join();
+
+      AtomicReference<Throwable> failure = new AtomicReference<>();
+      List<ForkJoinTask<?>> tasks = new ArrayList<>(byPartition.size());
+      for (Map.Entry<Integer, List<Account>> entry : byPartition.entrySet()) {
+        tasks.add(pool.submit(() -> {
+          try {
+            processPartition(checkpoint, entry.getKey(), entry.getValue(), rule, processed);
+          } catch (RuntimeException | Error e) {
+            // stop the other partitions, a resumed run continues from the checkpoint
+            failure.compareAndSet(null, e);
+            checkpoint.setCancelled(true);
+          }
+        }));
+      }
+
+      // wait for every task, even after a failure, so no task outlives the run
+      for (ForkJoinTask<?> task : tasks) {
+        task.quietlyJoin();
+      }
+      if (failure.get() instanceof RuntimeException) {
+        throw (RuntimeException) failure.get();
+      }
+      if (failure.get() instanceof Error) {
+        throw (Error) failure.get();
+      }
+
+      if (!checkpoint.isCancelled()) {
+        checkpoint.setCompleted(true);
+      }
+      log.info("Batch run {} processed {} accounts, completed {}, {} accounts with failed legs",
+        runId, processed.sum(), checkpoint.isCompleted(), checkpoint.getFailedLegs().size());
+      return processed.sum();
+    } finally {
+      checkpoint.finishRun();
+    }
+  }
+
+  /**
+   * Legs of a run that could not be transferred, with the reason
+   * @param runId
+   * @return
+   */
+  public List<FailedLegs> getFailedLegs(String runId) {
+    BatchCheckpoint checkpoint = batchCheckpointRepository.getCheckpoint(runId);
+    return checkpoint != null ? checkpoint.getFailedLegs() : Collections.emptyList();
+  }
+
+  /**
+   * Transfer the failed legs of a run again, the legs of each account all or none
+   * @param runId
+   * @return legs still failing
+   * @throws BatchRunException when the run is in progress
+   */
+  public List<FailedLegs> retryFailedLegs(String runId) {
+    BatchCheckpoint checkpoint = batchCheckpointRepository.getCheckpoint(runId);
+    if (checkpoint == null) {
+      return Collections.emptyList();
+    }
+    if (!checkpoint.startRun()) {
+      throw new BatchRunException("Batch run " + runId + " is already running");
+    }
+    try {
+      List<FailedLegs> stillFailing = new ArrayList<>();
+      for (FailedLegs failed : checkpoint.getFailedLegs()) {
+        try {
+          accountsService.transferMultiLeg(failed.getLegs());
+        } catch (RuntimeException e) {
+          stillFailing.add(new FailedLegs(failed.getAccountId(), failed.getLegs(), e.getMessage()));
+        }
+      }
+      checkpoint.setFailedLegs(stillFailing);
+      return stillFailing;
+    } finally {
+      checkpoint.finishRun();
+    }
+  }
+
+  /**
+   * Stop a running batch after the accounts in progress, it can be resumed with run
+   * @param runId
+   */
+  public void cancel(String runId) {
+    BatchCheckpoint checkpoint = batchCheckpointRepository.getCheckpoint(runId);
+    if (checkpoint != null) {
+      checkpoint.setCancelled(true);
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    pool.shutdownNow();
+  }
+
+  private void processPartition(BatchCheckpoint checkpoint, int partition, List<Account> accounts,
+    AccountBatchRule rule, LongAdder processed) {
+    accounts.sort(Comparator.comparing(Account::getAccountId));
+    String lastProcessed = checkpoint.getLastProcessed(partition);
+    for (Account account : accounts) {
+      if (checkpoint.isCancelled()) {
+        return;
+      }
+      if (lastProcessed != null && account.getAccountId().compareTo(lastProcessed) <= 0) {
+        continue;
+      }
+      processAccount(checkpoint, partition, account, rule);
+      processed.increment();
+    }
+  }
+
+  /**
+   * Apply the rule and its legs to one account and record it in the checkpoint, all while
+   * holding the locks of the account and of every account the legs touch
+   */
+  private void processAccount(BatchCheckpoint checkpoint, int partition, Account account,
+    AccountBatchRule rule) {
+    // higher account id first, the order every transfer locks in
+    Set<String> accountIds = new TreeSet<>(Comparator.reverseOrder());
+    accountIds.add(account.getAccountId());
+    while (true) {
+      List<Account> locked = new ArrayList<>(accountIds.size());
+      for (String accountId : accountIds) {
+        Account lockedAccount = accountsRepository.getAccount(accountId);
+        if (lockedAccount != null) {
+          locked.add(lockedAccount);
+        }
+      }
+
+      accountsService.lockAll(locked);
+      try {
+        Account draft = new Account(account.getAccountId(), account.getBalance());
+        List<TransferLeg> legs = rule.apply(draft);
+        if (legs == null) {
+          legs = Collections.emptyList();
+        }
+        if (addCounterparties(accountIds, legs)) {
+          // the legs touch accounts not locked yet, lock them too and run the rule again
+          continue;
+        }
+
+        account.setBalance(draft.getBalance());
+        if (!legs.isEmpty()) {
+          try {
+            // locks are reentrant, transferMultiLeg validates and applies all legs or none
+            accountsService.transferMultiLeg(legs);
+          } catch (RuntimeException e) {
+            log.warn("Batch run {} could not transfer legs of account {}: {}",
+              checkpoint.getRunId(), account.getAccountId(), e.getMessage());
+            checkpoint.addFailedLegs(new FailedLegs(account.getAccountId(), legs, e.getMessage()));
+          }
+        }
+        checkpoint.setLastProcessed(partition, account.getAccountId());
+        return;
+      } finally {
+        accountsService.unlockAll(locked);
+      }
+    }
+  }
+
+  /**
+   * @return true when a leg touches an account id not in accountIds yet
+   */
+  private static boolean addCounterparties(Set<String> accountIds, List<TransferLeg> legs) {
+    boolean added = false;
+    for (TransferLeg leg : legs) {
+      if (leg.getFromAccountId() != null) {
+        added |= accountIds.add(leg.getFromAccountId());
+      }
+      if (leg.getToAccountId() != null) {
+        added |= accountIds.add(leg.getToAccountId());
+      }
+    }
+    return added;
+  }
+
+  private static int partitionOf(String accountId, int partitions) {
+    // String.hashCode is specified, so partitions stay the same when a run is resumed
+    return (accountId.hashCode() & 0x7fffffff) % partitions;
+  }
+}
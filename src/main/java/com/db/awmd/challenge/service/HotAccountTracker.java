@@ -0,0 +1,121 @@
+package com.db.awmd.challenge.service;
+
+import com.db.awmd.challenge.domain.HotAccounts;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tracks the accounts with most transfers and most lock wait time per time window.
+ * Each thread records into one of a fixed number of space saving counters, which are merged
+ * on read, so memory is bounded by capacity and stripes, not by number of accounts, and
+ * transfers on different threads rarely touch the same counter.
+ */
+@Component
+public class HotAccountTracker {
+
+  private final int capacity;
+
+  private final long windowMillis;
+
+  private final int stripeMask;
+
+  private final LongSupplier clock;
+
+  private volatile Window current;
+
+  private volatile Window previous;
+
+  @Autowired
+  public HotAccountTracker(@Value("${hotAccounts.capacity:256}") int capacity,
+    @Value("${hotAccounts.windowMillis:60000}") long windowMillis,
+    @Value("${hotAccounts.stripes:0}") int stripes) {
+    this(capacity, windowMillis,
+      stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors(),
+      System::currentTimeMillis);
+  }
+
+  public HotAccountTracker(int capacity, long windowMillis, int stripes, LongSupplier clock) {
+    this.capacity = capacity;
+    this.windowMillis = windowMillis;
+    // round up to a power of two so a stripe is picked with a mask
+    this.stripeMask = Integer.highestOneBit(Math.max(1, stripes * 2 - 1)) - 1;
+    this.clock = clock;
+    this.current = new Window(clock.getAsLong(), capacity, stripeMask + 1);
+  }
+
+  public void recordTransfer(String accountId) {
+    window(clock.getAsLong()).transfers[stripe()].add(accountId, 1);
+  }
+
+  /**
+   * Callers only pass contended waits, an uncontended lock records nothing
+   * @param accountId
+   * @param waitNanos
+   */
+  public void recordLockWait(String accountId, long waitNanos) {
+    if (waitNanos > 0) {
+      window(clock.getAsLong()).lockWaits[stripe()].add(accountId, waitNanos);
+    }
+  }
+
+  /**
+   * Top accounts of the last completed window, or of the running window when none completed yet
+   * @param limit
+   * @return
+   */
+  public HotAccounts getHotAccounts(int limit) {
+    long now = clock.getAsLong();
+    Window running = window(now);
+    Window completed = previous;
+    Window reported = completed != null ? completed : running;
+    long duration = completed != null ? windowMillis : Math.max(1, now - running.start);
+
+    double perSecond = 1000.0 / duration;
+    double nanosToMillis = 1.0 / 1_000_000;
+    return new HotAccounts(reported.start, duration,
+      SpaceSavingCounter.top(limit, perSecond, reported.transfers),
+      SpaceSavingCounter.top(limit, nanosToMillis, reported.lockWaits));
+  }
+
+  private int stripe() {
+    return (int) Thread.currentThread().getId() & stripeMask;
+  }
+
+  private Window window(long now) {
+    Window window = current;
+    if (now - window.start < windowMillis) {
+      return window;
+    }
+    synchronized (this) {
+      window = current;
+      if (now - window.start >= windowMillis) {
+        // a window older than the one just finished has nothing to say about the last period
+        previous = now - window.start < 2 * windowMillis ? window : null;
+        window = new Window(now - (now - window.start) % windowMillis, capacity, stripeMask + 1);
+        current = window;
+      }
+      return window;
+    }
+  }
+
+  private static final class Window {
+
+    private final long start;
+
+    private final SpaceSavingCounter[] transfers;
+
+    private final SpaceSavingCounter[] lockWaits;
+
+    private Window(long start, int capacity, int stripes) {
+      this.start = start;
+      this.transfers = new SpaceSavingCounter[stripes];
+      this.lockWaits = new SpaceSavingCounter[stripes];
+      for (int i = 0; i < stripes; i++) {
+        transfers[i] = new SpaceSavingCounter(capacity);
+        lockWaits[i] = new SpaceSavingCounter(capacity);
+      }
+    }
+  }
+}
@@ -0,0 +1,144 @@
+package com.db.awmd.challenge.service;
+
+import com.db.awmd.challenge.domain.HotAccount;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space saving heavy hitter counter. Keeps at most capacity counters in a min heap; a new id
+ * replaces the smallest counter and inherits its count as the error bound, so an add costs
+ * O(log capacity) and memory does not depend on the number of distinct ids.
+ */
+public class SpaceSavingCounter {
+
+  private final Node[] heap;
+
+  private final Map<String, Node> nodes;
+
+  private int size;
+
+  public SpaceSavingCounter(int capacity) {
+    this.heap = new Node[capacity];
+    this.nodes = new HashMap<>(capacity * 2);
+  }
+
+  public synchronized void add(String id, long weight) {
+    Node node = nodes.get(id);
+    if (node != null) {
+      node.count += weight;
+      siftDown(node.position);
+      return;
+    }
+    if (size < heap.length) {
+      node = new Node(id, weight, 0, size);
+      heap[size++] = node;
+      nodes.put(id, node);
+      siftUp(node.position);
+      return;
+    }
+
+    // reuse the smallest counter, its count becomes the error bound of the new id
+    node = heap[0];
+    nodes.remove(node.id);
+    node.id = id;
+    node.error = node.count;
+    node.count += weight;
+    nodes.put(id, node);
+    siftDown(0);
+  }
+
+  /**
+   * Merge counters and return the ids with the highest counts. Counts are upper bounds of the
+   * true counts and at most error above them.
+   * @param limit
+   * @param scale factor applied to counts and errors
+   * @param counters
+   * @return
+   */
+  public static List<HotAccount> top(int limit, double scale, SpaceSavingCounter... counters) {
+    // an id missing from a counter may have been counted up to that counter's minimum there
+    Map<String, long[]> merged = new HashMap<>();
+    long minimums = 0;
+    for (SpaceSavingCounter counter : counters) {
+      synchronized (counter) {
+        long min = counter.size < counter.heap.length ? 0 : counter.heap[0].count;
+        minimums += min;
+        for (int i = 0; i < counter.size; i++) {
+          Node node = counter.heap[i];
+          long[] total = merged.computeIfAbsent(node.id, id -> new long[2]);
+          total[0] += node.count - min;
+          total[1] += node.error - min;
+        }
+      }
+    }
+
+    List<Map.Entry<String, long[]>> entries = new ArrayList<>(merged.entrySet());
+    entries.sort(Comparator.comparingLong((Map.Entry<String, long[]> e) -> e.getValue()[0]).reversed());
+    List<HotAccount> top = new ArrayList<>(Math.min(limit, entries.size()));
+    for (int i = 0; i < entries.size() && i < limit; i++) {
+      long[] total = entries.get(i).getValue();
+      top.add(new HotAccount(entries.get(i).getKey(), (total[0] + minimums) * scale,
+        (total[1] + minimums) * scale));
+    }
+    return top;
+  }
+
+  private void siftUp(int position) {
+    while (position > 0) {
+      int parent = (position - 1) / 2;
+      if (heap[parent].count <= heap[position].count) {
+        return;
+      }
+      swap(position, parent);
+      position = parent;
+    }
+  }
+
+  private void siftDown(int position) {
+    while (true) {
+      int smallest = position;
+      int left = 2 * position + 1;
+      int right = left + 1;
+      if (left < size && heap[left].count < heap[smallest].count) {
+        smallest = left;
+      }
+      if (right < size && heap[right].count < heap[smallest].count) {
+        smallest = right;
+      }
+      if (smallest == position) {
+        return;
+      }
+      swap(position, smallest);
+      position = smallest;
+    }
+  }
+
+  private void swap(int i, int j) {
+    Node node = heap[i];
+    heap[i] = heap[j];
+    heap[j] = node;
+    heap[i].position = i;
+    heap[j].position = j;
+  }
+
+  private static final class Node {
+
+    private String id;
+
+    private long count;
+
+    private long error;
+
+    private int position;
+
+    private Node(String id, long count, long error, int position) {
+      this.id = id;
+      this.count = count;
+      this.error = error;
+      this.position = position;
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package com.db.awmd.challenge.web;
 
 import com.db.awmd.challenge.domain.Account;
+import com.db.awmd.challenge.domain.MultiLegTransfer;
 import com.db.awmd.challenge.exception.AccountDoesNotExistException;
 import com.db.awmd.challenge.exception.AmountTransferShouldBeGreaterThanZero;
 import com.db.awmd.challenge.exception.DuplicateAccountIdException;
@@ -29,6 +30,10 @@ import org.springframework.web.bind.annotation.RestController;
 @Slf4j
 public class AccountsController {
 
+  static final String SUCCESS = "SUCCESS";
+
+  static final String FAILURE = "FAILURE";
+
   private final AccountsService accountsService;
 
   @Autowired
@@ -61,7 +66,28 @@ public class AccountsController {
 	try {
 		accountsService.initiateTransfer(fromAccountId,toAccountId,amount);
 	} catch (SameAccountNumberException e) {
-		return new ResponseEntity<>("FAILURE", HttpStatus.BAD_REQUEST);
+		return new ResponseEntity<>(FAILURE, HttpStatus.BAD_REQUEST);
+	}catch(InsufficientBalanceException e) {		
+		return new ResponseEntity<>(e.getMessage(), HttpStatus.OK);
+	}catch (AccountDoesNotExistException e) {
+		return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+	}catch (AmountTransferShouldBeGreaterThanZero e) {
+		return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+	}
+	catch(Exception e) {
+		return new ResponseEntity<>(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+	}
+	  return new ResponseEntity<>(SUCCESS, HttpStatus.OK);
+	  
+  }
+  
+  @PostMapping(path="/multiLegTransfer", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<String> multiLegTransfer(@RequestBody @Valid MultiLegTransfer multiLegTransfer)  {
+	  
+	try {
+		accountsService.initiateMultiLegTransfer(multiLegTransfer.getLegs());
+	} catch (SameAccountNumberException e) {
+		return new ResponseEntity<>(FAILURE, HttpStatus.BAD_REQUEST);
 	}catch(InsufficientBalanceException e) {		
 		return new ResponseEntity<>(e.getMessage(), HttpStatus.OK);
 	}catch (AccountDoesNotExistException e) {
@@ -72,7 +98,7 @@ public class AccountsController {
 	catch(Exception e) {
 		return new ResponseEntity<>(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
 	}
-	  return new ResponseEntity<>("SUCCESS", HttpStatus.OK);
+	  return new ResponseEntity<>(SUCCESS, HttpStatus.OK);
 	  
   }
   
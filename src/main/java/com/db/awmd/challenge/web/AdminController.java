@@ -0,0 +1,34 @@
+package com.db.awmd.challenge.web;
+
+import com.db.awmd.challenge.service.HotAccountTracker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/v1/admin")
+@Slf4j
+public class AdminController {
+
+  private final HotAccountTracker hotAccountTracker;
+
+  @Autowired
+  public AdminController(HotAccountTracker hotAccountTracker) {
+    this.hotAccountTracker = hotAccountTracker;
+  }
+
+  @GetMapping(path = "/hot-accounts")
+  public ResponseEntity<Object> getHotAccounts(
+    @RequestParam(value = "limit", defaultValue = "10") int limit) {
+    log.info("Retrieving top {} hot accounts", limit);
+    if (limit <= 0) {
+      return new ResponseEntity<>("Limit should be greater than Zero", HttpStatus.BAD_REQUEST);
+    }
+    return new ResponseEntity<>(this.hotAccountTracker.getHotAccounts(limit), HttpStatus.OK);
+  }
+}
@@ -0,0 +1,30 @@
+package com.db.awmd.challenge.web;
+
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter;
+
+/**
+ * Registers the hand written codecs ahead of Jackson. Set accounts.json.codec=jackson
+ * to fall back to the default converters, e.g. to compare both.
+ */
+@Configuration
+@ConditionalOnProperty(name = "accounts.json.codec", havingValue = "streaming", matchIfMissing = true)
+public class JsonCodecConfig extends WebMvcConfigurerAdapter {
+
+  private final int maxBodyBytes;
+
+  public JsonCodecConfig(@Value("${accounts.json.maxBodyBytes:2097152}") int maxBodyBytes) {
+    this.maxBodyBytes = maxBodyBytes;
+  }
+
+  @Override
+  public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+    converters.add(0, new StreamingJsonHttpMessageConverter(maxBodyBytes));
+    converters.add(0, new PreEncodedStringHttpMessageConverter(
+      AccountsController.SUCCESS, AccountsController.FAILURE));
+  }
+}
@@ -0,0 +1,444 @@
+package com.db.awmd.challenge.web;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Minimal pull parser over a UTF-8 JSON document. Malformed input, documents nested deeper than
+ * MAX_DEPTH and bodies over the size limit raise IllegalArgumentException.
+ */
+final class JsonReader {
+
+  private static final int INITIAL_SIZE = 1024;
+
+  // buffers that grew past this are not kept for the next request
+  private static final int MAX_POOLED_SIZE = 64 * 1024;
+
+  static final int MAX_DEPTH = 64;
+
+  private static final ThreadLocal<byte[]> POOL = ThreadLocal.withInitial(() -> new byte[INITIAL_SIZE]);
+
+  private final byte[] buf;
+
+  private final int end;
+
+  private int pos;
+
+  // true once a value was read and a separator is required before the next one
+  private boolean needComma;
+
+  private int depth;
+
+  JsonReader(byte[] buf, int length) {
+    this.buf = buf;
+    this.end = length;
+  }
+
+  /**
+   * Read the whole stream into this thread's pooled buffer
+   * @param in
+   * @param maxBytes bodies longer than this are rejected
+   * @return
+   * @throws IOException
+   */
+  static JsonReader of(InputStream in, int maxBytes) throws IOException {
+    byte[] buf = POOL.get();
+    int length = 0;
+    int read;
+    try {
+      while ((read = in.read(buf, length, buf.length - length)) != -1) {
+        length += read;
+        if (length > maxBytes) {
+          throw new IllegalArgumentException("Request body exceeds " + maxBytes + " bytes");
+        }
+        if (length == buf.length) {
+          // one byte over the limit is enough to detect an oversized body
+          buf = Arrays.copyOf(buf, (int) Math.min(buf.length * 2L, maxBytes + 1L));
+        }
+      }
+    } finally {
+      POOL.set(buf.length > MAX_POOLED_SIZE ? new byte[INITIAL_SIZE] : buf);
+    }
+    return new JsonReader(buf, length);
+  }
+
+  void beginObject() {
+    expect('{');
+    enter();
+  }
+
+  void endObject() {
+    expect('}');
+    exit();
+  }
+
+  void beginArray() {
+    expect('[');
+    enter();
+  }
+
+  void endArray() {
+    expect(']');
+    exit();
+  }
+
+  /**
+   * @return true when the current object or array has another member
+   */
+  boolean hasNext() {
+    byte c = peek();
+    if (c == '}' || c == ']') {
+      return false;
+    }
+    if (needComma) {
+      expect(',');
+      needComma = false;
+    }
+    return true;
+  }
+
+  /**
+   * Read a member name and match it against the expected names without decoding it
+   * @param names ASCII names
+   * @return index of the matching name, -1 when none matches
+   */
+  int nextName(byte[]... names) {
+    expect('"');
+    int start = pos;
+    while (pos < end && buf[pos] != '"' && buf[pos] != '\\' && (buf[pos] < 0 || buf[pos] >= 0x20)) {
+      pos++;
+    }
+    int match = -1;
+    if (pos < end && buf[pos] == '"') {
+      int length = pos - start;
+      pos++;
+      for (int i = 0; i < names.length && match < 0; i++) {
+        if (regionEquals(start, length, names[i])) {
+          match = i;
+        }
+      }
+    } else {
+      // escaped, unterminated or invalid names are rare, decode them the slow way
+      pos = start - 1;
+      String name = readString();
+      for (int i = 0; i < names.length && match < 0; i++) {
+        if (name.equals(new String(names[i], StandardCharsets.ISO_8859_1))) {
+          match = i;
+        }
+      }
+    }
+    expect(':');
+    needComma = false;
+    return match;
+  }
+
+  boolean nextNull() {
+    if (peek() == 'n') {
+      literal("null");
+      needComma = true;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Numbers and booleans are returned as their text, the way Jackson coerces them to String
+   * @return
+   */
+  String nextString() {
+    if (nextNull()) {
+      return null;
+    }
+    byte c = peek();
+    String value;
+    if (c == '"') {
+      value = readString();
+    } else if (c == 't') {
+      literal("true");
+      value = "true";
+    } else if (c == 'f') {
+      literal("false");
+      value = "false";
+    } else if (isNumberChar(c)) {
+      value = readNumber();
+    } else {
+      throw error("Expected string");
+    }
+    needComma = true;
+    return value;
+  }
+
+  BigDecimal nextBigDecimal() {
+    if (nextNull()) {
+      return null;
+    }
+    if (peek() == '"') {
+      return toBigDecimal(nextString());
+    }
+    String text = readNumber();
+    needComma = true;
+    return toBigDecimal(text);
+  }
+
+  void skipValue() {
+    byte c = peek();
+    if (c == '{') {
+      beginObject();
+      while (hasNext()) {
+        nextName();
+        skipValue();
+      }
+      endObject();
+    } else if (c == '[') {
+      beginArray();
+      while (hasNext()) {
+        skipValue();
+      }
+      endArray();
+    } else if (c == '"') {
+      nextString();
+    } else if (c == 't') {
+      literal("true");
+      needComma = true;
+    } else if (c == 'f') {
+      literal("false");
+      needComma = true;
+    } else if (c == 'n') {
+      nextNull();
+    } else {
+      nextBigDecimal();
+    }
+  }
+
+  void endDocument() {
+    skipWhitespace();
+    if (pos != end) {
+      throw error("Unexpected content after JSON document");
+    }
+  }
+
+  private void enter() {
+    if (++depth > MAX_DEPTH) {
+      throw error("JSON nested deeper than " + MAX_DEPTH + " levels");
+    }
+    needComma = false;
+  }
+
+  private void exit() {
+    depth--;
+    needComma = true;
+  }
+
+  private boolean regionEquals(int start, int length, byte[] name) {
+    if (name.length != length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (buf[start + i] != name[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private String readNumber() {
+    int start = pos;
+    while (pos < end && isNumberChar(buf[pos])) {
+      pos++;
+    }
+    if (!isValidNumber(start, pos)) {
+      throw error("Invalid number");
+    }
+    return new String(buf, start, pos - start, StandardCharsets.ISO_8859_1);
+  }
+
+  /**
+   * JSON number grammar: -?(0|[1-9][0-9]*)(\.[0-9]+)?([eE][+-]?[0-9]+)?
+   */
+  private boolean isValidNumber(int from, int to) {
+    int i = from;
+    if (i < to && buf[i] == '-') {
+      i++;
+    }
+    if (i < to && buf[i] == '0') {
+      i++;
+    } else {
+      int digits = skipDigits(i, to);
+      if (digits == i || buf[i] == '0') {
+        return false;
+      }
+      i = digits;
+    }
+    if (i < to && buf[i] == '.') {
+      int digits = skipDigits(i + 1, to);
+      if (digits == i + 1) {
+        return false;
+      }
+      i = digits;
+    }
+    if (i < to && (buf[i] == 'e' || buf[i] == 'E')) {
+      i++;
+      if (i < to && (buf[i] == '+' || buf[i] == '-')) {
+        i++;
+      }
+      int digits = skipDigits(i, to);
+      if (digits == i) {
+        return false;
+      }
+      i = digits;
+    }
+    return i == to;
+  }
+
+  private int skipDigits(int from, int to) {
+    while (from < to && buf[from] >= '0' && buf[from] <= '9') {
+      from++;
+    }
+    return from;
+  }
+
+  private String readString() {
+    expect('"');
+    int start = pos;
+    boolean ascii = true;
+    while (pos < end) {
+      byte c = buf[pos];
+      if (c == '"') {
+        pos++;
+        return new String(buf, start, pos - 1 - start,
+          ascii ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+      }
+      if (c == '\\') {
+        return readEscapedString(start);
+      }
+      if (c < 0) {
+        ascii = false;
+      } else if (c < 0x20) {
+        throw error("Unescaped control character in string");
+      }
+      pos++;
+    }
+    throw error("Unterminated string");
+  }
+
+  private String readEscapedString(int start) {
+    StringBuilder value = new StringBuilder(pos - start + 16);
+    int segment = start;
+    while (pos < end) {
+      byte c = buf[pos];
+      if (c == '"') {
+        value.append(new String(buf, segment, pos - segment, StandardCharsets.UTF_8));
+        pos++;
+        return value.toString();
+      }
+      if (c >= 0 && c < 0x20) {
+        throw error("Unescaped control character in string");
+      }
+      if (c != '\\') {
+        pos++;
+        continue;
+      }
+      value.append(new String(buf, segment, pos - segment, StandardCharsets.UTF_8));
+      if (pos + 1 >= end) {
+        break;
+      }
+      byte escaped = buf[pos + 1];
+      pos += 2;
+      switch (escaped) {
+        case '"':
+        case '\\':
+        case '/':
+          value.append((char) escaped);
+          break;
+        case 'b':
+          value.append('\b');
+          break;
+        case 'f':
+          value.append('\f');
+          break;
+        case 'n':
+          value.append('\n');
+          break;
+        case 'r':
+          value.append('\r');
+          break;
+        case 't':
+          value.append('\t');
+          break;
+        case 'u':
+          if (pos + 4 > end) {
+            throw error("Invalid unicode escape");
+          }
+          try {
+            value.append((char) Integer.parseInt(
+              new String(buf, pos, 4, StandardCharsets.ISO_8859_1), 16));
+          } catch (NumberFormatException e) {
+            throw error("Invalid unicode escape");
+          }
+          pos += 4;
+          break;
+        default:
+          throw error("Invalid escape character");
+      }
+      segment = pos;
+    }
+    throw error("Unterminated string");
+  }
+
+  private void literal(String literal) {
+    skipWhitespace();
+    if (pos + literal.length() > end) {
+      throw error("Unexpected end of JSON document");
+    }
+    for (int i = 0; i < literal.length(); i++) {
+      if (buf[pos + i] != literal.charAt(i)) {
+        throw error("Unexpected token");
+      }
+    }
+    pos += literal.length();
+  }
+
+  private BigDecimal toBigDecimal(String text) {
+    try {
+      return new BigDecimal(text);
+    } catch (NumberFormatException e) {
+      throw error("Invalid number " + text);
+    }
+  }
+
+  private static boolean isNumberChar(byte c) {
+    return (c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E';
+  }
+
+  private void expect(char expected) {
+    if (peek() != expected) {
+      throw error("Expected '" + expected + "'");
+    }
+    pos++;
+  }
+
+  private byte peek() {
+    skipWhitespace();
+    if (pos >= end) {
+      throw error("Unexpected end of JSON document");
+    }
+    return buf[pos];
+  }
+
+  private void skipWhitespace() {
+    while (pos < end) {
+      byte c = buf[pos];
+      if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+        return;
+      }
+      pos++;
+    }
+  }
+
+  private IllegalArgumentException error(String message) {
+    return new IllegalArgumentException(message + " at position " + pos);
+  }
+}
@@ -0,0 +1,142 @@
+package com.db.awmd.challenge.web;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Minimal JSON writer encoding straight into a byte buffer that is reused by the same thread.
+ */
+final class JsonWriter {
+
+  private static final int INITIAL_SIZE = 256;
+
+  // buffers that grew past this are not kept for the next request
+  private static final int MAX_POOLED_SIZE = 64 * 1024;
+
+  private static final byte[] HEX = "0123456789abcdef".getBytes();
+
+  private static final byte[] SHORT_ESCAPES = new byte[0x20];
+
+  static {
+    SHORT_ESCAPES['\b'] = 'b';
+    SHORT_ESCAPES['\t'] = 't';
+    SHORT_ESCAPES['\n'] = 'n';
+    SHORT_ESCAPES['\f'] = 'f';
+    SHORT_ESCAPES['\r'] = 'r';
+  }
+
+  private static final ThreadLocal<JsonWriter> POOL = ThreadLocal.withInitial(JsonWriter::new);
+
+  private byte[] buf = new byte[INITIAL_SIZE];
+
+  private int count;
+
+  private JsonWriter() {
+  }
+
+  static JsonWriter acquire() {
+    JsonWriter writer = POOL.get();
+    if (writer.buf.length > MAX_POOLED_SIZE) {
+      writer.buf = new byte[INITIAL_SIZE];
+    }
+    writer.count = 0;
+    return writer;
+  }
+
+  int size() {
+    return count;
+  }
+
+  void writeTo(OutputStream out) throws IOException {
+    out.write(buf, 0, count);
+  }
+
+  JsonWriter raw(byte[] bytes) {
+    ensure(bytes.length);
+    System.arraycopy(bytes, 0, buf, count, bytes.length);
+    count += bytes.length;
+    return this;
+  }
+
+  JsonWriter raw(char c) {
+    ensure(1);
+    buf[count++] = (byte) c;
+    return this;
+  }
+
+  JsonWriter number(BigDecimal value) {
+    if (value == null) {
+      return nullValue();
+    }
+    // same textual form Jackson uses for BigDecimal
+    String text = value.toString();
+    ensure(text.length());
+    for (int i = 0; i < text.length(); i++) {
+      buf[count++] = (byte) text.charAt(i);
+    }
+    return this;
+  }
+
+  JsonWriter string(String value) {
+    if (value == null) {
+      return nullValue();
+    }
+    // worst case is six bytes per char for \\u escapes
+    ensure(value.length() * 6 + 2);
+    buf[count++] = '"';
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        buf[count++] = '\\';
+        buf[count++] = (byte) c;
+      } else if (c < 0x20 && SHORT_ESCAPES[c] != 0) {
+        buf[count++] = '\\';
+        buf[count++] = SHORT_ESCAPES[c];
+      } else if (c < 0x20) {
+        buf[count++] = '\\';
+        buf[count++] = 'u';
+        buf[count++] = '0';
+        buf[count++] = '0';
+        buf[count++] = HEX[c >> 4];
+        buf[count++] = HEX[c & 0xF];
+      } else if (c < 0x80) {
+        buf[count++] = (byte) c;
+      } else if (c < 0x800) {
+        buf[count++] = (byte) (0xC0 | (c >> 6));
+        buf[count++] = (byte) (0x80 | (c & 0x3F));
+      } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+        && Character.isLowSurrogate(value.charAt(i + 1))) {
+        int codePoint = Character.toCodePoint(c, value.charAt(++i));
+        buf[count++] = (byte) (0xF0 | (codePoint >> 18));
+        buf[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+        buf[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+        buf[count++] = (byte) (0x80 | (codePoint & 0x3F));
+      } else if (Character.isSurrogate(c)) {
+        buf[count++] = '?';
+      } else {
+        buf[count++] = (byte) (0xE0 | (c >> 12));
+        buf[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+        buf[count++] = (byte) (0x80 | (c & 0x3F));
+      }
+    }
+    buf[count++] = '"';
+    return this;
+  }
+
+  private JsonWriter nullValue() {
+    ensure(4);
+    buf[count++] = 'n';
+    buf[count++] = 'u';
+    buf[count++] = 'l';
+    buf[count++] = 'l';
+    return this;
+  }
+
+  private void ensure(int extra) {
+    if (count + extra > buf.length) {
+      buf = Arrays.copyOf(buf, Math.max(buf.length * 2, count + extra));
+    }
+  }
+}
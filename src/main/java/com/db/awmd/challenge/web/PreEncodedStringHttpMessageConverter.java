@@ -0,0 +1,60 @@
+package com.db.awmd.challenge.web;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.StringHttpMessageConverter;
+
+/**
+ * String converter that writes the constant controller responses from bytes encoded once
+ * at startup. Other strings are written like Spring Boot's converter does, in UTF-8.
+ */
+public class PreEncodedStringHttpMessageConverter extends StringHttpMessageConverter {
+
+  private final Map<String, byte[]> encoded = new HashMap<>();
+
+  public PreEncodedStringHttpMessageConverter(String... constants) {
+    super(StandardCharsets.UTF_8);
+    setWriteAcceptCharset(false);
+    for (String constant : constants) {
+      encoded.put(constant, constant.getBytes(StandardCharsets.US_ASCII));
+    }
+  }
+
+  @Override
+  protected Long getContentLength(String str, MediaType contentType) {
+    byte[] bytes = preEncoded(str, contentType);
+    return bytes != null ? Long.valueOf(bytes.length) : super.getContentLength(str, contentType);
+  }
+
+  @Override
+  protected void writeInternal(String str, HttpOutputMessage outputMessage) throws IOException {
+    byte[] bytes = preEncoded(str, outputMessage.getHeaders().getContentType());
+    if (bytes != null) {
+      outputMessage.getBody().write(bytes);
+    } else {
+      super.writeInternal(str, outputMessage);
+    }
+  }
+
+  /**
+   * @return cached bytes when str is a constant and the charset is ASCII compatible, else null
+   */
+  private byte[] preEncoded(String str, MediaType contentType) {
+    byte[] bytes = encoded.get(str);
+    if (bytes == null) {
+      return null;
+    }
+    Charset charset = contentType != null && contentType.getCharset() != null
+      ? contentType.getCharset() : getDefaultCharset();
+    if (StandardCharsets.UTF_8.equals(charset) || StandardCharsets.ISO_8859_1.equals(charset)
+      || StandardCharsets.US_ASCII.equals(charset)) {
+      return bytes;
+    }
+    return null;
+  }
+}
@@ -0,0 +1,155 @@
+package com.db.awmd.challenge.web;
+
+import com.db.awmd.challenge.domain.Account;
+import com.db.awmd.challenge.domain.MultiLegTransfer;
+import com.db.awmd.challenge.domain.TransferLeg;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+/**
+ * Hand written JSON codec for the accounts API payloads, used instead of Jackson to avoid
+ * reflection and intermediate allocations. Produces the same JSON as the Jackson converter and
+ * accepts the same well formed input, including numbers and booleans for string fields.
+ * It is stricter than Jackson in two ways: bodies over maxBodyBytes and documents nested deeper
+ * than 64 levels are rejected as unreadable.
+ */
+public class StreamingJsonHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+  private static final byte[] ACCOUNT_ID = "{\"accountId\":".getBytes();
+
+  private static final byte[] BALANCE = ",\"balance\":".getBytes();
+
+  private static final byte[] ACCOUNT_ID_NAME = "accountId".getBytes();
+
+  private static final byte[] BALANCE_NAME = "balance".getBytes();
+
+  private static final byte[] LEGS_NAME = "legs".getBytes();
+
+  private static final byte[] FROM_ACCOUNT_ID_NAME = "fromAccountId".getBytes();
+
+  private static final byte[] TO_ACCOUNT_ID_NAME = "toAccountId".getBytes();
+
+  private static final byte[] AMOUNT_NAME = "amount".getBytes();
+
+  private final int maxBodyBytes;
+
+  public StreamingJsonHttpMessageConverter(int maxBodyBytes) {
+    super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+    this.maxBodyBytes = maxBodyBytes;
+  }
+
+  @Override
+  protected boolean supports(Class<?> clazz) {
+    return Account.class == clazz || MultiLegTransfer.class == clazz;
+  }
+
+  @Override
+  public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+    return Account.class == clazz && canWrite(mediaType);
+  }
+
+  @Override
+  protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage)
+    throws IOException {
+    if (inputMessage.getHeaders().getContentLength() > maxBodyBytes) {
+      throw new HttpMessageNotReadableException("Request body exceeds " + maxBodyBytes + " bytes");
+    }
+    try {
+      JsonReader reader = JsonReader.of(inputMessage.getBody(), maxBodyBytes);
+      Object value = clazz == Account.class ? readAccount(reader) : readMultiLegTransfer(reader);
+      reader.endDocument();
+      return value;
+    } catch (IllegalArgumentException e) {
+      throw new HttpMessageNotReadableException("Could not read JSON: " + e.getMessage(), e);
+    }
+  }
+
+  @Override
+  protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+    Account account = (Account) value;
+    JsonWriter writer = JsonWriter.acquire()
+      .raw(ACCOUNT_ID).string(account.getAccountId())
+      .raw(BALANCE).number(account.getBalance())
+      .raw('}');
+    outputMessage.getHeaders().setContentLength(writer.size());
+    writer.writeTo(outputMessage.getBody());
+  }
+
+  private Account readAccount(JsonReader reader) {
+    String accountId = null;
+    BigDecimal balance = null;
+    reader.beginObject();
+    while (reader.hasNext()) {
+      switch (reader.nextName(ACCOUNT_ID_NAME, BALANCE_NAME)) {
+        case 0:
+          accountId = reader.nextString();
+          break;
+        case 1:
+          balance = reader.nextBigDecimal();
+          break;
+        default:
+          reader.skipValue();
+      }
+    }
+    reader.endObject();
+    return new Account(accountId, balance);
+  }
+
+  private MultiLegTransfer readMultiLegTransfer(JsonReader reader) {
+    List<TransferLeg> legs = null;
+    reader.beginObject();
+    while (reader.hasNext()) {
+      if (reader.nextName(LEGS_NAME) == 0) {
+        legs = readTransferLegs(reader);
+      } else {
+        reader.skipValue();
+      }
+    }
+    reader.endObject();
+    return new MultiLegTransfer(legs);
+  }
+
+  private List<TransferLeg> readTransferLegs(JsonReader reader) {
+    if (reader.nextNull()) {
+      return null;
+    }
+    List<TransferLeg> legs = new ArrayList<>();
+    reader.beginArray();
+    while (reader.hasNext()) {
+      legs.add(readTransferLeg(reader));
+    }
+    reader.endArray();
+    return legs;
+  }
+
+  private TransferLeg readTransferLeg(JsonReader reader) {
+    String fromAccountId = null;
+    String toAccountId = null;
+    BigDecimal amount = null;
+    reader.beginObject();
+    while (reader.hasNext()) {
+      switch (reader.nextName(FROM_ACCOUNT_ID_NAME, TO_ACCOUNT_ID_NAME, AMOUNT_NAME)) {
+        case 0:
+          fromAccountId = reader.nextString();
+          break;
+        case 1:
+          toAccountId = reader.nextString();
+          break;
+        case 2:
+          amount = reader.nextBigDecimal();
+          break;
+        default:
+          reader.skipValue();
+      }
+    }
+    reader.endObject();
+    return new TransferLeg(fromAccountId, toAccountId, amount);
+  }
+}
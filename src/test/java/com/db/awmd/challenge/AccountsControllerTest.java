@@ -21,10 +21,13 @@ import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.context.web.WebAppConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
 
 import com.db.awmd.challenge.domain.Account;
 import com.db.awmd.challenge.service.AccountsService;
 import com.db.awmd.challenge.service.NotificationService;
+import com.db.awmd.challenge.web.PreEncodedStringHttpMessageConverter;
+import com.db.awmd.challenge.web.StreamingJsonHttpMessageConverter;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest
@@ -42,6 +45,9 @@ public class AccountsControllerTest {
   @Autowired
   private WebApplicationContext webApplicationContext;
 
+  @Autowired
+  private RequestMappingHandlerAdapter handlerAdapter;
+
   @Before
   public void prepareMockMvc() {
     this.mockMvc = webAppContextSetup(this.webApplicationContext).build();
@@ -99,6 +105,14 @@ public class AccountsControllerTest {
       .content("{\"accountId\":\"\",\"balance\":1000}")).andExpect(status().isBadRequest());
   }
 
+  @Test
+  public void usesStreamingCodecByDefault() throws Exception {
+	  assertThat(handlerAdapter.getMessageConverters().get(0))
+	  .isInstanceOf(PreEncodedStringHttpMessageConverter.class);
+	  assertThat(handlerAdapter.getMessageConverters().get(1))
+	  .isInstanceOf(StreamingJsonHttpMessageConverter.class);
+  }
+
   @Test
   public void getAccount() throws Exception {
     String uniqueAccountId = "Id-" + System.currentTimeMillis();
@@ -175,6 +189,27 @@ public class AccountsControllerTest {
 
 
 
+  @Test
+  public void multiLegTransfer_manyToOne() throws Exception {
+	  String acId1="Id-123";
+	  String acId2="Id-124";
+	  createSampleAccount(acId1,acId2,new BigDecimal(200),new BigDecimal(200));
+	  this.accountsService.createAccount(new Account("Id-125",new BigDecimal(0)));
+	  mockMvc.perform(post("/v1/accounts/multiLegTransfer").contentType(MediaType.APPLICATION_JSON)
+	  .content("{\"legs\":[{\"fromAccountId\":\"Id-123\",\"toAccountId\":\"Id-125\",\"amount\":50},"
+		  + "{\"fromAccountId\":\"Id-124\",\"toAccountId\":\"Id-125\",\"amount\":70}]}"))
+	  .andExpect(status().isOk())
+	  .andExpect(content().string("SUCCESS"));
+	  assertThat(accountsService.getAccount("Id-125").getBalance()).isEqualByComparingTo("120");
+  }
+
+  @Test
+  public void multiLegTransfer_noLegs() throws Exception {
+	  mockMvc.perform(post("/v1/accounts/multiLegTransfer").contentType(MediaType.APPLICATION_JSON)
+	  .content("{\"legs\":[]}"))
+	  .andExpect(status().isBadRequest());
+  }
+
 private void createSampleAccount(String acId1,String acId2,BigDecimal balance1,BigDecimal balance2) {
 	 
 	  Account account1 = new Account(acId1,balance1);
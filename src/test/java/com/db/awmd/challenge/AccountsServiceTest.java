@@ -3,9 +3,14 @@ package com.db.awmd.challenge;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
@@ -20,6 +25,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import com.db.awmd.challenge.domain.Account;
+import com.db.awmd.challenge.domain.TransferLeg;
 import com.db.awmd.challenge.exception.DuplicateAccountIdException;
 import com.db.awmd.challenge.exception.InsufficientBalanceException;
 import com.db.awmd.challenge.exception.SameAccountNumberException;
@@ -158,6 +164,87 @@ public class AccountsServiceTest {
 	  
   }
 
+  @Test
+  public void initiateMultiLegTransfer_oneToMany() throws Exception {
+	  String acId1="Id-" + System.currentTimeMillis();
+	  Thread.sleep(1);
+	  String acId2="Id-" + System.currentTimeMillis();
+	  Thread.sleep(1);
+	  String acId3="Id-" + System.currentTimeMillis();
+	  Account account1 = new Account(acId1,new BigDecimal(1000));
+	  Account account2 = new Account(acId2,new BigDecimal(0));
+	  Account account3 = new Account(acId3,new BigDecimal(0));
+	  this.accountsService.createAccount(account1);
+	  this.accountsService.createAccount(account2);
+	  this.accountsService.createAccount(account3);
+
+	  accountsService.initiateMultiLegTransfer(Arrays.asList(
+		  new TransferLeg(acId1, acId2, new BigDecimal(300)),
+		  new TransferLeg(acId1, acId3, new BigDecimal(200)),
+		  new TransferLeg(acId1, acId2, new BigDecimal(100))));
+
+	  assertEquals("From account balance is not as expected",new BigDecimal(400), account1.getBalance());
+	  assertEquals("To account balance is not as expected",new BigDecimal(400), account2.getBalance());
+	  assertEquals("To account balance is not as expected",new BigDecimal(200), account3.getBalance());
+	  verify(notificationService, times(2)).notifyAboutTransfer(any(Account.class), anyString());
+  }
+
+  @Test
+  public void initiateMultiLegTransfer_insufficientBalanceAppliesNothing() throws Exception {
+	  String acId1="Id-" + System.currentTimeMillis();
+	  Thread.sleep(1);
+	  String acId2="Id-" + System.currentTimeMillis();
+	  Thread.sleep(1);
+	  String acId3="Id-" + System.currentTimeMillis();
+	  Account account1 = new Account(acId1,new BigDecimal(1000));
+	  Account account2 = new Account(acId2,new BigDecimal(100));
+	  Account account3 = new Account(acId3,new BigDecimal(0));
+	  this.accountsService.createAccount(account1);
+	  this.accountsService.createAccount(account2);
+	  this.accountsService.createAccount(account3);
+
+	  try {
+		accountsService.transferMultiLeg(Arrays.asList(
+			new TransferLeg(acId1, acId3, new BigDecimal(500)),
+			new TransferLeg(acId2, acId3, new BigDecimal(200))));
+		fail("Should have failed when insufficient balance");
+	  } catch (InsufficientBalanceException e) {
+		assertEquals("Insufficient Balance in account "+acId2, e.getMessage());
+	  }
+
+	  assertEquals("Account1 balance is not correct",new BigDecimal(1000), account1.getBalance());
+	  assertEquals("Account2 balance is not correct",new BigDecimal(100), account2.getBalance());
+	  assertEquals("Account3 balance is not correct",new BigDecimal(0), account3.getBalance());
+  }
+
+  @Test
+  public void initiateMultiLegTransfer_thousandsOfRecipients() throws Exception {
+	  String prefix="Id-" + System.currentTimeMillis() + "-";
+	  Account payer = new Account(prefix + "payer",new BigDecimal(10000));
+	  this.accountsService.createAccount(payer);
+	  List<Account> recipients = new ArrayList<>();
+	  List<TransferLeg> legs = new ArrayList<>();
+	  for(int i=0;i<5000;i++) {
+		  Account recipient = new Account(prefix + i,BigDecimal.ZERO);
+		  this.accountsService.createAccount(recipient);
+		  recipients.add(recipient);
+		  legs.add(new TransferLeg(payer.getAccountId(), recipient.getAccountId(), new BigDecimal(2)));
+	  }
+
+	  // run on a small stack to show lock acquisition does not grow with the number of accounts
+	  Thread thread = new Thread(null, () -> accountsService.transferMultiLeg(legs), "multi-leg", 256 * 1024);
+	  List<Throwable> failures = new ArrayList<>();
+	  thread.setUncaughtExceptionHandler((t, e) -> failures.add(e));
+	  thread.start();
+	  thread.join();
+
+	  assertThat(failures).isEmpty();
+	  assertEquals("Payer balance is not as expected",new BigDecimal(0), payer.getBalance());
+	  recipients.forEach(recipient ->
+		  assertEquals("Recipient balance is not as expected",new BigDecimal(2), recipient.getBalance()));
+	  assertThat(payer.getLock().isLocked()).isFalse();
+  }
+
   private Callable<String> getTask(String acId1,String acId2,BigDecimal amount) {
 	  return new Callable<String>() {
 		
@@ -0,0 +1,79 @@
+package com.db.awmd.challenge;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.webAppContextSetup;
+
+import java.math.BigDecimal;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.db.awmd.challenge.domain.Account;
+import com.db.awmd.challenge.service.AccountsService;
+import com.db.awmd.challenge.service.NotificationService;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "hotAccounts.windowMillis=3600000")
+@WebAppConfiguration
+public class AdminControllerTest {
+
+  private MockMvc mockMvc;
+
+  @Autowired
+  private AccountsService accountsService;
+
+  @MockBean
+  NotificationService notificationService;
+
+  @Autowired
+  private WebApplicationContext webApplicationContext;
+
+  @Before
+  public void prepareMockMvc() {
+    this.mockMvc = webAppContextSetup(this.webApplicationContext).build();
+
+    // Reset the existing accounts before each test.
+    accountsService.getAccountsRepository().clearAccounts();
+  }
+
+  @Test
+  public void getHotAccounts() throws Exception {
+	  String hotId="Hot-" + System.currentTimeMillis();
+	  String coldId1="Cold1-" + System.currentTimeMillis();
+	  String coldId2="Cold2-" + System.currentTimeMillis();
+	  this.accountsService.createAccount(new Account(hotId,new BigDecimal(100000)));
+	  this.accountsService.createAccount(new Account(coldId1,new BigDecimal(0)));
+	  this.accountsService.createAccount(new Account(coldId2,new BigDecimal(0)));
+	  for(int i=0;i<500;i++) {
+		  accountsService.transferAmount(hotId, coldId1, BigDecimal.ONE);
+		  accountsService.transferAmount(hotId, coldId2, BigDecimal.ONE);
+	  }
+
+	  mockMvc.perform(get("/v1/admin/hot-accounts?limit=2"))
+	  .andExpect(status().isOk())
+	  .andExpect(jsonPath("$.byTransferRate.length()").value(2))
+	  .andExpect(jsonPath("$.byTransferRate[0].accountId").value(hotId))
+	  .andExpect(jsonPath("$.byLockWait").isArray());
+  }
+
+  @Test
+  public void getHotAccounts_invalidLimit() throws Exception {
+	  mockMvc.perform(get("/v1/admin/hot-accounts?limit=0"))
+	  .andExpect(status().isBadRequest());
+	  mockMvc.perform(get("/v1/admin/hot-accounts?limit=-1"))
+	  .andExpect(status().isBadRequest())
+	  .andExpect(content().string("Limit should be greater than Zero"));
+  }
+
+}
@@ -0,0 +1,230 @@
+package com.db.awmd.challenge;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.db.awmd.challenge.domain.Account;
+import com.db.awmd.challenge.domain.FailedLegs;
+import com.db.awmd.challenge.domain.TransferLeg;
+import com.db.awmd.challenge.exception.BatchRunException;
+import com.db.awmd.challenge.service.AccountBatchRule;
+import com.db.awmd.challenge.service.AccountsService;
+import com.db.awmd.challenge.service.BatchService;
+import com.db.awmd.challenge.service.NotificationService;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {"batch.partitions=8", "batch.parallelism=4"})
+public class BatchServiceTest {
+
+  @Autowired
+  private AccountsService accountsService;
+
+  @Autowired
+  private BatchService batchService;
+
+  @MockBean
+  NotificationService notificationService;
+
+  @Before
+  public void clearAccounts() {
+	  accountsService.getAccountsRepository().clearAccounts();
+	  batchService.getBatchCheckpointRepository().clearCheckpoints();
+  }
+
+  @Test
+  public void run_appliesRuleToEveryAccountOnce() throws Exception {
+	  List<Account> accounts = createAccounts(1000, new BigDecimal(100));
+
+	  long processed = batchService.run("EOD-1", fee(BigDecimal.ONE));
+
+	  assertEquals("Processed account count is not correct", 1000, processed);
+	  accounts.forEach(account ->
+		  assertEquals("Account balance is not correct", new BigDecimal(99), account.getBalance()));
+	  assertEquals("Completed run should not process again", 0, batchService.run("EOD-1", fee(BigDecimal.ONE)));
+  }
+
+  @Test
+  public void run_resumesAfterCancel() throws Exception {
+	  List<Account> accounts = createAccounts(1000, new BigDecimal(100));
+	  AtomicInteger calls = new AtomicInteger();
+	  AccountBatchRule fee = fee(BigDecimal.ONE);
+
+	  long first = batchService.run("EOD-2", account -> {
+		  if (calls.incrementAndGet() == 300) {
+			  batchService.cancel("EOD-2");
+		  }
+		  return fee.apply(account);
+	  });
+	  long second = batchService.run("EOD-2", fee);
+
+	  assertEquals("Processed account count is not correct", 1000, first + second);
+	  accounts.forEach(account ->
+		  assertEquals("Account balance is not correct", new BigDecimal(99), account.getBalance()));
+  }
+
+  @Test
+  public void run_sweepsAboveThreshold() throws Exception {
+	  Account pool = new Account("Pool", BigDecimal.ZERO);
+	  accountsService.createAccount(pool);
+	  List<Account> accounts = createAccounts(100, new BigDecimal(150));
+
+	  batchService.run("EOD-3", account -> {
+		  BigDecimal excess = account.getBalance().subtract(new BigDecimal(100));
+		  if (account.getAccountId().equals("Pool") || excess.signum() <= 0) {
+			  return Collections.emptyList();
+		  }
+		  return Collections.singletonList(new TransferLeg(account.getAccountId(), "Pool", excess));
+	  });
+
+	  accounts.forEach(account ->
+		  assertEquals("Account balance is not correct", new BigDecimal(100), account.getBalance()));
+	  assertEquals("Pool balance is not correct", new BigDecimal(5000), pool.getBalance());
+  }
+
+  @Test
+  public void run_failingLegDoesNotReapplyRule() throws Exception {
+	  List<Account> accounts = createAccounts(200, new BigDecimal(100));
+	  AccountBatchRule fee = fee(BigDecimal.ONE);
+
+	  long first = batchService.run("EOD-4", account -> {
+		  fee.apply(account);
+		  return Collections.singletonList(new TransferLeg(account.getAccountId(), "Missing", BigDecimal.TEN));
+	  });
+	  long resumed = batchService.run("EOD-4", fee);
+
+	  assertEquals("Processed account count is not correct", 200, first);
+	  assertEquals("Completed run should not process again", 0, resumed);
+	  accounts.forEach(account ->
+		  assertEquals("Account balance is not correct", new BigDecimal(99), account.getBalance()));
+	  assertEquals("Failed legs count is not correct", 200, batchService.getFailedLegs("EOD-4").size());
+  }
+
+  @Test
+  public void run_failingLegRollsBackOtherLegsOfAccount() throws Exception {
+	  Account pool = new Account("Pool", BigDecimal.ZERO);
+	  accountsService.createAccount(pool);
+	  Account account = new Account("Id-0", new BigDecimal(100));
+	  accountsService.createAccount(account);
+
+	  batchService.run("EOD-7", draft -> {
+		  if (draft.getAccountId().equals("Pool")) {
+			  return Collections.emptyList();
+		  }
+		  return Arrays.asList(
+			  new TransferLeg("Id-0", "Pool", new BigDecimal(60)),
+			  new TransferLeg("Id-0", "Pool", new BigDecimal(60)));
+	  });
+
+	  assertEquals("Account balance is not correct", new BigDecimal(100), account.getBalance());
+	  assertEquals("Pool balance is not correct", BigDecimal.ZERO, pool.getBalance());
+	  List<FailedLegs> failedLegs = batchService.getFailedLegs("EOD-7");
+	  assertEquals("Failed legs count is not correct", 1, failedLegs.size());
+	  assertEquals("Id-0", failedLegs.get(0).getAccountId());
+	  assertEquals("Failed legs should keep every leg of the account", 2, failedLegs.get(0).getLegs().size());
+  }
+
+  @Test
+  public void retryFailedLegs_transfersOnceAccountExists() throws Exception {
+	  List<Account> accounts = createAccounts(50, new BigDecimal(100));
+	  batchService.run("EOD-8", account ->
+		  Collections.singletonList(new TransferLeg(account.getAccountId(), "Missing", BigDecimal.TEN)));
+
+	  assertEquals("Failed legs should still fail", 50, batchService.retryFailedLegs("EOD-8").size());
+	  Account missing = new Account("Missing", BigDecimal.ZERO);
+	  accountsService.createAccount(missing);
+	  List<FailedLegs> stillFailing = batchService.retryFailedLegs("EOD-8");
+
+	  assertEquals("Failed legs count is not correct", 0, stillFailing.size());
+	  assertEquals("Failed legs count is not correct", 0, batchService.getFailedLegs("EOD-8").size());
+	  assertEquals("Missing balance is not correct", new BigDecimal(500), missing.getBalance());
+	  accounts.forEach(account ->
+		  assertEquals("Account balance is not correct", new BigDecimal(90), account.getBalance()));
+  }
+
+  @Test
+  public void run_resumesAfterRuleFailure() throws Exception {
+	  List<Account> accounts = createAccounts(1000, new BigDecimal(100));
+	  AccountBatchRule fee = fee(BigDecimal.ONE);
+
+	  try {
+		batchService.run("EOD-5", account -> {
+			if (account.getAccountId().equals("Id-500")) {
+				throw new IllegalStateException("Rule failed");
+			}
+			return fee.apply(account);
+		});
+		fail("Should have failed when the rule fails");
+	  } catch (IllegalStateException e) {
+		assertEquals("Rule failed", e.getMessage());
+	  }
+	  batchService.run("EOD-5", fee);
+
+	  accounts.forEach(account ->
+		  assertEquals("Account balance is not correct", new BigDecimal(99), account.getBalance()));
+  }
+
+  @Test
+  public void run_rejectsConcurrentRunOfSameId() throws Exception {
+	  createAccounts(10, new BigDecimal(100));
+	  CountDownLatch started = new CountDownLatch(1);
+	  CountDownLatch release = new CountDownLatch(1);
+	  ExecutorService executorService = Executors.newSingleThreadExecutor();
+	  Future<Long> firstRun = executorService.submit(() -> batchService.run("EOD-6", account -> {
+		  started.countDown();
+		  try {
+			release.await();
+		  } catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		  }
+		  return Collections.emptyList();
+	  }));
+
+	  started.await();
+	  try {
+		batchService.run("EOD-6", fee(BigDecimal.ONE));
+		fail("Should have failed when the run is already in progress");
+	  } catch (BatchRunException e) {
+		assertEquals("Batch run EOD-6 is already running", e.getMessage());
+	  } finally {
+		release.countDown();
+	  }
+	  assertEquals("Processed account count is not correct", Long.valueOf(10), firstRun.get());
+	  executorService.shutdown();
+  }
+
+  private AccountBatchRule fee(BigDecimal fee) {
+	  return account -> {
+		  account.setBalance(account.getBalance().subtract(fee));
+		  return Collections.emptyList();
+	  };
+  }
+
+  private List<Account> createAccounts(int count, BigDecimal balance) {
+	  List<Account> accounts = new ArrayList<>();
+	  for (int i = 0; i < count; i++) {
+		  Account account = new Account("Id-" + i, balance);
+		  accountsService.createAccount(account);
+		  accounts.add(account);
+	  }
+	  return accounts;
+  }
+}
@@ -0,0 +1,71 @@
+package com.db.awmd.challenge;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import com.db.awmd.challenge.domain.HotAccount;
+import com.db.awmd.challenge.domain.HotAccounts;
+import com.db.awmd.challenge.service.HotAccountTracker;
+
+public class HotAccountTrackerTest {
+
+  private final AtomicLong clock = new AtomicLong();
+
+  private final HotAccountTracker tracker = new HotAccountTracker(16, 1000, 1, clock::get);
+
+  @Test
+  public void getHotAccounts_reportsRunningWindowUntilFirstRollover() {
+	  recordTransfers("Id-1", 3);
+	  recordTransfers("Id-2", 1);
+	  tracker.recordLockWait("Id-2", 4_000_000);
+	  clock.set(500);
+
+	  HotAccounts hotAccounts = tracker.getHotAccounts(10);
+
+	  assertThat(hotAccounts.getWindowStart()).isEqualTo(0);
+	  assertThat(hotAccounts.getWindowMillis()).isEqualTo(500);
+	  assertThat(hotAccounts.getByTransferRate())
+	  .containsExactly(new HotAccount("Id-1", 6, 0), new HotAccount("Id-2", 2, 0));
+	  assertThat(hotAccounts.getByLockWait()).hasSize(1);
+	  assertThat(hotAccounts.getByLockWait().get(0).getAccountId()).isEqualTo("Id-2");
+	  assertThat(hotAccounts.getByLockWait().get(0).getValue()).isCloseTo(4, within(1e-9));
+  }
+
+  @Test
+  public void getHotAccounts_reportsLastCompletedWindow() {
+	  recordTransfers("Id-1", 3);
+	  clock.set(1200);
+	  recordTransfers("Id-2", 5);
+
+	  HotAccounts hotAccounts = tracker.getHotAccounts(10);
+	  assertThat(hotAccounts.getWindowStart()).isEqualTo(0);
+	  assertThat(hotAccounts.getWindowMillis()).isEqualTo(1000);
+	  assertThat(hotAccounts.getByTransferRate()).containsExactly(new HotAccount("Id-1", 3, 0));
+
+	  clock.set(2500);
+	  hotAccounts = tracker.getHotAccounts(10);
+	  assertThat(hotAccounts.getWindowStart()).isEqualTo(1000);
+	  assertThat(hotAccounts.getByTransferRate()).containsExactly(new HotAccount("Id-2", 5, 0));
+  }
+
+  @Test
+  public void getHotAccounts_dropsWindowsOlderThanLastPeriod() {
+	  recordTransfers("Id-1", 3);
+	  clock.set(5300);
+
+	  HotAccounts hotAccounts = tracker.getHotAccounts(10);
+
+	  assertThat(hotAccounts.getWindowStart()).isEqualTo(5000);
+	  assertThat(hotAccounts.getByTransferRate()).isEmpty();
+  }
+
+  private void recordTransfers(String accountId, int count) {
+	  for (int i = 0; i < count; i++) {
+		  tracker.recordTransfer(accountId);
+	  }
+  }
+}
@@ -0,0 +1,67 @@
+package com.db.awmd.challenge;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.webAppContextSetup;
+
+import java.math.BigDecimal;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import com.db.awmd.challenge.domain.Account;
+import com.db.awmd.challenge.service.AccountsService;
+import com.db.awmd.challenge.service.NotificationService;
+import com.db.awmd.challenge.web.PreEncodedStringHttpMessageConverter;
+import com.db.awmd.challenge.web.StreamingJsonHttpMessageConverter;
+
+/**
+ * accounts.json.codec=jackson switches back to the default converters
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "accounts.json.codec=jackson")
+@WebAppConfiguration
+public class JacksonCodecTest {
+
+  @Autowired
+  private AccountsService accountsService;
+
+  @MockBean
+  NotificationService notificationService;
+
+  @Autowired
+  private RequestMappingHandlerAdapter handlerAdapter;
+
+  @Autowired
+  private WebApplicationContext webApplicationContext;
+
+  @Test
+  public void usesDefaultConverters() throws Exception {
+	  assertThat(handlerAdapter.getMessageConverters().stream()
+		  .anyMatch(converter -> converter instanceof StreamingJsonHttpMessageConverter
+			  || converter instanceof PreEncodedStringHttpMessageConverter)).isFalse();
+	  assertThat(handlerAdapter.getMessageConverters().stream()
+		  .anyMatch(converter -> converter instanceof MappingJackson2HttpMessageConverter)).isTrue();
+  }
+
+  @Test
+  public void getAccount() throws Exception {
+	  String uniqueAccountId = "Id-" + System.currentTimeMillis();
+	  this.accountsService.createAccount(new Account(uniqueAccountId, new BigDecimal("123.45")));
+	  webAppContextSetup(this.webApplicationContext).build()
+	  .perform(get("/v1/accounts/" + uniqueAccountId))
+	  .andExpect(status().isOk())
+	  .andExpect(
+		  content().string("{\"accountId\":\"" + uniqueAccountId + "\",\"balance\":123.45}"));
+  }
+}
@@ -0,0 +1,130 @@
+package com.db.awmd.challenge;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.db.awmd.challenge.domain.Account;
+import com.db.awmd.challenge.domain.MultiLegTransfer;
+import com.db.awmd.challenge.web.PreEncodedStringHttpMessageConverter;
+import com.db.awmd.challenge.web.StreamingJsonHttpMessageConverter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Compares allocation per request body of the streaming codec with the default converters used
+ * when accounts.json.codec=jackson, set up the way Spring Boot configures them. Time per
+ * operation is logged for reference only.
+ */
+public class JsonCodecAllocationTest {
+
+  private static final Logger log = LoggerFactory.getLogger(JsonCodecAllocationTest.class);
+
+  private static final int ITERATIONS = 20000;
+
+  private final StreamingJsonHttpMessageConverter streaming = new StreamingJsonHttpMessageConverter(1024 * 1024);
+
+  // configured like the ObjectMapper Spring Boot builds for the application
+  private final MappingJackson2HttpMessageConverter jackson = new MappingJackson2HttpMessageConverter(
+	  Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build());
+
+  private com.sun.management.ThreadMXBean threadMXBean;
+
+  @Before
+  public void checkAllocationCounter() {
+	  assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+	  threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+	  assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+	  threadMXBean.setThreadAllocatedMemoryEnabled(true);
+  }
+
+  @Test
+  public void writeAccount() throws Exception {
+	  Account account = new Account("Id-123", new BigDecimal("123.45"));
+	  compare("write Account",
+		  () -> streaming.write(account, MediaType.APPLICATION_JSON, new MockHttpOutputMessage()),
+		  () -> jackson.write(account, MediaType.APPLICATION_JSON, new MockHttpOutputMessage()));
+  }
+
+  @Test
+  public void readAccount() throws Exception {
+	  byte[] body = "{\"accountId\":\"Id-123\",\"balance\":1000}".getBytes(StandardCharsets.UTF_8);
+	  compare("read Account",
+		  () -> streaming.read(Account.class, input(body)),
+		  () -> jackson.read(Account.class, input(body)));
+  }
+
+  @Test
+  public void readMultiLegTransfer() throws Exception {
+	  StringBuilder json = new StringBuilder("{\"legs\":[");
+	  for (int i = 0; i < 10; i++) {
+		  json.append(i == 0 ? "" : ",")
+		  .append("{\"fromAccountId\":\"Id-0\",\"toAccountId\":\"Id-").append(i + 1).append("\",\"amount\":10}");
+	  }
+	  byte[] body = json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+	  compare("read MultiLegTransfer",
+		  () -> streaming.read(MultiLegTransfer.class, input(body)),
+		  () -> jackson.read(MultiLegTransfer.class, input(body)));
+  }
+
+  @Test
+  public void writeTransferResponse() throws Exception {
+	  PreEncodedStringHttpMessageConverter preEncoded = new PreEncodedStringHttpMessageConverter("SUCCESS");
+	  // configured like Spring Boot's String converter
+	  StringHttpMessageConverter string = new StringHttpMessageConverter(StandardCharsets.UTF_8);
+	  string.setWriteAcceptCharset(false);
+	  compare("write SUCCESS",
+		  () -> preEncoded.write("SUCCESS", MediaType.TEXT_PLAIN, new MockHttpOutputMessage()),
+		  () -> string.write("SUCCESS", MediaType.TEXT_PLAIN, new MockHttpOutputMessage()));
+  }
+
+  private void compare(String operation, Codec streamingCodec, Codec defaultCodec) throws Exception {
+	  long[] streamingCost = measure(streamingCodec);
+	  long[] defaultCost = measure(defaultCodec);
+	  log.info("{}: streaming {} bytes/op {} ns/op, default {} bytes/op {} ns/op", operation,
+		  streamingCost[0], streamingCost[1], defaultCost[0], defaultCost[1]);
+	  assertThat(streamingCost[0]).isLessThan(defaultCost[0]);
+  }
+
+  /**
+   * @return allocated bytes and nanoseconds per operation after warm up
+   */
+  private long[] measure(Codec codec) throws Exception {
+	  for (int i = 0; i < ITERATIONS; i++) {
+		  codec.run();
+	  }
+	  long threadId = Thread.currentThread().getId();
+	  long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+	  long start = System.nanoTime();
+	  for (int i = 0; i < ITERATIONS; i++) {
+		  codec.run();
+	  }
+	  long elapsed = System.nanoTime() - start;
+	  long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+	  return new long[] {allocated / ITERATIONS, elapsed / ITERATIONS};
+  }
+
+  private MockHttpInputMessage input(byte[] body) {
+	  MockHttpInputMessage inputMessage = new MockHttpInputMessage(body);
+	  inputMessage.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+	  return inputMessage;
+  }
+
+  private interface Codec {
+
+	  void run() throws Exception;
+  }
+}
@@ -0,0 +1,45 @@
+package com.db.awmd.challenge;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.db.awmd.challenge.web.PreEncodedStringHttpMessageConverter;
+
+public class PreEncodedStringHttpMessageConverterTest {
+
+  private final PreEncodedStringHttpMessageConverter converter =
+	  new PreEncodedStringHttpMessageConverter("SUCCESS", "FAILURE");
+
+  @Test
+  public void writeConstant() throws Exception {
+	  MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+	  converter.write("SUCCESS", MediaType.TEXT_PLAIN, outputMessage);
+	  assertThat(outputMessage.getBodyAsString(StandardCharsets.US_ASCII)).isEqualTo("SUCCESS");
+	  assertThat(outputMessage.getHeaders().getContentLength()).isEqualTo(7);
+	  assertThat(outputMessage.getHeaders().getContentType().getCharset()).isEqualTo(StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void writeOtherString() throws Exception {
+	  MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+	  converter.write("Insufficient Balance in account Id-\u4e00", MediaType.TEXT_PLAIN, outputMessage);
+	  assertThat(outputMessage.getBodyAsString(StandardCharsets.UTF_8))
+	  .isEqualTo("Insufficient Balance in account Id-\u4e00");
+	  assertThat(outputMessage.getHeaders().getContentType().getCharset()).isEqualTo(StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void writeConstantInNonAsciiCompatibleCharset() throws Exception {
+	  Charset utf16 = Charset.forName("UTF-16BE");
+	  MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+	  converter.write("SUCCESS", new MediaType("text", "plain", utf16), outputMessage);
+	  assertThat(outputMessage.getBodyAsString(utf16)).isEqualTo("SUCCESS");
+	  assertThat(outputMessage.getHeaders().getContentLength()).isEqualTo(14);
+  }
+}
@@ -0,0 +1,66 @@
+package com.db.awmd.challenge;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.db.awmd.challenge.domain.HotAccount;
+import com.db.awmd.challenge.service.SpaceSavingCounter;
+
+public class SpaceSavingCounterTest {
+
+  @Test
+  public void add_evictsSmallestCounter() {
+	  SpaceSavingCounter counter = new SpaceSavingCounter(2);
+	  add(counter, "Id-1", 5);
+	  add(counter, "Id-2", 3);
+	  add(counter, "Id-3", 1);
+
+	  List<HotAccount> top = SpaceSavingCounter.top(10, 1, counter);
+
+	  assertThat(top).hasSize(2);
+	  assertThat(top.get(0)).isEqualTo(new HotAccount("Id-1", 5, 0));
+	  // Id-3 took over the counter of Id-2, its true count 1 lies within 4 - 3 and 4
+	  assertThat(top.get(1)).isEqualTo(new HotAccount("Id-3", 4, 3));
+  }
+
+  @Test
+  public void add_keepsHeavyHittersWithinErrorBound() {
+	  SpaceSavingCounter counter = new SpaceSavingCounter(20);
+	  for (int i = 0; i < 10000; i++) {
+		  counter.add("Hot-" + (i % 3), 1);
+		  counter.add("Id-" + i, 1);
+	  }
+
+	  List<HotAccount> top = SpaceSavingCounter.top(3, 1, counter);
+
+	  assertThat(top).extracting(HotAccount::getAccountId).containsOnly("Hot-0", "Hot-1", "Hot-2");
+	  for (HotAccount hotAccount : top) {
+		  long trueCount = hotAccount.getAccountId().equals("Hot-0") ? 3334 : 3333;
+		  assertThat(hotAccount.getValue()).isGreaterThanOrEqualTo(trueCount);
+		  assertThat(hotAccount.getValue() - hotAccount.getMaxError()).isLessThanOrEqualTo(trueCount);
+	  }
+  }
+
+  @Test
+  public void top_mergesCountersAndScales() {
+	  SpaceSavingCounter first = new SpaceSavingCounter(2);
+	  SpaceSavingCounter second = new SpaceSavingCounter(2);
+	  add(first, "Id-1", 10);
+	  add(first, "Id-2", 5);
+	  add(first, "Id-3", 1);
+	  add(second, "Id-1", 3);
+
+	  List<HotAccount> top = SpaceSavingCounter.top(1, 0.5, first, second);
+
+	  assertThat(top).containsExactly(new HotAccount("Id-1", 6.5, 0));
+  }
+
+  private void add(SpaceSavingCounter counter, String accountId, int times) {
+	  for (int i = 0; i < times; i++) {
+		  counter.add(accountId, 1);
+	  }
+  }
+}
@@ -0,0 +1,123 @@
+package com.db.awmd.challenge;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.db.awmd.challenge.domain.Account;
+import com.db.awmd.challenge.domain.MultiLegTransfer;
+import com.db.awmd.challenge.web.StreamingJsonHttpMessageConverter;
+
+public class StreamingJsonHttpMessageConverterTest {
+
+  private final StreamingJsonHttpMessageConverter converter = new StreamingJsonHttpMessageConverter(1024);
+
+  @Test
+  public void writeAccount() throws Exception {
+	  MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+	  converter.write(new Account("Id-\"é\"", new BigDecimal("123.45")), MediaType.APPLICATION_JSON, outputMessage);
+	  assertThat(outputMessage.getBodyAsString(StandardCharsets.UTF_8))
+	  .isEqualTo("{\"accountId\":\"Id-\\\"é\\\"\",\"balance\":123.45}");
+	  assertThat(outputMessage.getHeaders().getContentLength())
+	  .isEqualTo(outputMessage.getBodyAsBytes().length);
+  }
+
+  @Test
+  public void readAccount() throws Exception {
+	  Account account = (Account) converter.read(Account.class, input(
+		  "{ \"unknown\": {\"a\": [1, null]}, \"accountId\": \"Id-\\u0031é\", \"balance\": 1000 }"));
+	  assertThat(account.getAccountId()).isEqualTo("Id-1é");
+	  assertThat(account.getBalance()).isEqualByComparingTo("1000");
+  }
+
+  @Test
+  public void readMultiLegTransfer() throws Exception {
+	  MultiLegTransfer transfer = (MultiLegTransfer) converter.read(MultiLegTransfer.class, input(
+		  "{\"legs\":[{\"fromAccountId\":\"Id-1\",\"toAccountId\":\"Id-2\",\"amount\":10.5},"
+		  + "{\"fromAccountId\":\"Id-3\",\"toAccountId\":\"Id-2\",\"amount\":\"4\"}]}"));
+	  assertThat(transfer.getLegs()).hasSize(2);
+	  assertThat(transfer.getLegs().get(0).getAmount()).isEqualByComparingTo("10.5");
+	  assertThat(transfer.getLegs().get(1).getFromAccountId()).isEqualTo("Id-3");
+  }
+
+  @Test
+  public void readMalformed() throws Exception {
+	  try {
+		converter.read(Account.class, input("{\"accountId\":\"Id-1\" \"balance\":1}"));
+		fail("Should have failed on malformed JSON");
+	  } catch (HttpMessageNotReadableException e) {
+		assertThat(e.getMessage()).contains("Expected ','");
+	  }
+  }
+
+  @Test
+  public void readAccountNumericId() throws Exception {
+	  Account account = (Account) converter.read(Account.class, input("{\"accountId\":123,\"balance\":1}"));
+	  assertThat(account.getAccountId()).isEqualTo("123");
+  }
+
+  @Test
+  public void readInvalidBareValues() throws Exception {
+	  for (String value : new String[] {"-", "e", "+1", "01", "1.", "1e5e"}) {
+		  try {
+			converter.read(Account.class, input("{\"accountId\":" + value + ",\"balance\":1}"));
+			fail("Should have failed on invalid number " + value);
+		  } catch (HttpMessageNotReadableException e) {
+			assertThat(e.getMessage()).contains("Invalid number");
+		  }
+	  }
+  }
+
+  @Test
+  public void readUnescapedControlCharacter() throws Exception {
+	  try {
+		converter.read(Account.class, input("{\"accountId\":\"Id\t1\",\"balance\":1}"));
+		fail("Should have failed on unescaped control character");
+	  } catch (HttpMessageNotReadableException e) {
+		assertThat(e.getMessage()).contains("Unescaped control character");
+	  }
+  }
+
+  @Test
+  public void readTooDeeplyNested() throws Exception {
+	  StringBuilder json = new StringBuilder("{\"unknown\":");
+	  for (int i = 0; i < 500; i++) {
+		  json.append('[');
+	  }
+	  try {
+		converter.read(Account.class, input(json.toString()));
+		fail("Should have failed on deeply nested JSON");
+	  } catch (HttpMessageNotReadableException e) {
+		assertThat(e.getMessage()).contains("nested deeper than");
+	  }
+  }
+
+  @Test
+  public void readBodyOverLimit() throws Exception {
+	  StringBuilder json = new StringBuilder("{\"accountId\":\"");
+	  for (int i = 0; i < 2000; i++) {
+		  json.append('x');
+	  }
+	  json.append("\"}");
+	  try {
+		converter.read(Account.class, input(json.toString()));
+		fail("Should have failed on body over the limit");
+	  } catch (HttpMessageNotReadableException e) {
+		assertThat(e.getMessage()).contains("exceeds 1024 bytes");
+	  }
+  }
+
+  private MockHttpInputMessage input(String json) {
+	  MockHttpInputMessage inputMessage = new MockHttpInputMessage(json.getBytes(StandardCharsets.UTF_8));
+	  inputMessage.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+	  return inputMessage;
+  }
+}